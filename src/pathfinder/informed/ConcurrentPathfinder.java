@@ -0,0 +1,122 @@
+package pathfinder.informed;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Query facade that serves Pathfinder solve calls from many threads against a
+ * single shared MazeSnapshot. Each call borrows a SearchScratch from a pool, so
+ * the search buffers are allocated once per concurrently running query rather
+ * than once per call, and the snapshot itself is never copied.
+ */
+public class ConcurrentPathfinder implements AutoCloseable {
+
+	// Fields
+	// -----------------------------------------------------------------------------
+	private final MazeSnapshot snapshot;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	private final ConcurrentLinkedQueue<SearchScratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+	// Constructors
+	// -----------------------------------------------------------------------------
+	/**
+	 * Constructs a new ConcurrentPathfinder that runs submitted queries on the
+	 * given executor. On JDK 21+ this may be a virtual-thread-per-task executor;
+	 * the scratch pool then holds roughly one buffer set per carrier thread, since
+	 * only that many queries are ever running at once. The executor is not shut
+	 * down by close().
+	 *
+	 * @param snapshot The MazeSnapshot to answer every query against
+	 * @param executor The ExecutorService that runs submitted queries
+	 */
+	public ConcurrentPathfinder(MazeSnapshot snapshot, ExecutorService executor) {
+		this(snapshot, executor, false);
+	}
+
+	/**
+	 * Constructs a new ConcurrentPathfinder backed by its own fixed pool with one
+	 * thread per available processor, which is shut down by close().
+	 *
+	 * @param snapshot The MazeSnapshot to answer every query against
+	 */
+	public ConcurrentPathfinder(MazeSnapshot snapshot) {
+		this(snapshot, Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()), true);
+	}
+
+	private ConcurrentPathfinder(MazeSnapshot snapshot, ExecutorService executor, boolean ownsExecutor) {
+		this.snapshot = snapshot;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	// Methods
+	// -----------------------------------------------------------------------------
+
+	/**
+	 * @return The MazeSnapshot that every query is answered against
+	 */
+	public MazeSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Solves the snapshot from its Initial state on the calling thread.
+	 *
+	 * @return An ArrayList of actions to get from the Initial to the Key to the
+	 *         Goal State, or null if no such path exists
+	 */
+	public ArrayList<String> solve() {
+		return solve(snapshot.getInitialState());
+	}
+
+	/**
+	 * Solves the snapshot from the given start on the calling thread; safe to call
+	 * from any number of threads at once.
+	 *
+	 * @param start A MazeState (col, row) to start the search from
+	 * @return An ArrayList of actions to get from the start to the Key to the Goal
+	 *         State, or null if no such path exists
+	 */
+	public ArrayList<String> solve(MazeState start) {
+		MazeGraph graph = snapshot.getGraph();
+		SearchScratch scratch = scratchPool.poll();
+		if (scratch == null) {
+			scratch = new SearchScratch(graph);
+		}
+		try {
+			return scratch.solve(graph, start);
+		} finally {
+			scratchPool.offer(scratch);
+		}
+	}
+
+	/**
+	 * Submits a solve from the snapshot's Initial state to the executor.
+	 *
+	 * @return A Future of the solution, as returned by solve()
+	 */
+	public Future<ArrayList<String>> submit() {
+		return submit(snapshot.getInitialState());
+	}
+
+	/**
+	 * Submits a solve from the given start to the executor.
+	 *
+	 * @param start A MazeState (col, row) to start the search from
+	 * @return A Future of the solution, as returned by solve(start)
+	 */
+	public Future<ArrayList<String>> submit(MazeState start) {
+		return executor.submit(() -> solve(start));
+	}
+
+	/**
+	 * Shuts down the executor if it was created by this ConcurrentPathfinder.
+	 */
+	@Override
+	public void close() {
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,304 @@
+package pathfinder.informed;
+
+import java.util.*;
+
+/**
+ * Compiled, cache-local graph of the passable tiles of a maze. Every non-wall
+ * tile becomes a cell id, numbered along a Hilbert curve so that cells that are
+ * close in the maze (including vertical neighbors) are also close in memory.
+ * Neighbors and the cost of moving onto them are stored in compressed sparse
+ * row (CSR) arrays: the edges of cell i are the entries offsets[i] up to
+ * offsets[i + 1] of neighbors and costs. Searches run purely on cell ids; cells
+ * are only mapped back to (col, row) and U/D/L/R actions when building a path.
+ */
+public final class MazeGraph {
+
+	// Fields
+	// -----------------------------------------------------------------------------
+	final int cols, rows;
+	final int cellCount;
+	final int[] cellCol, cellRow;
+	final char[] cellTile;
+	final int[] gridToCell;
+	final int[] offsets;
+	final int[] neighbors;
+	final int[] costs;
+	final int[] keys, goals;
+	final boolean[] isKeyCell, isGoalCell;
+
+	// Compile
+	// -----------------------------------------------------------------------------
+	/**
+	 * Compiles the given MazeProblem into a MazeGraph with Hilbert-ordered cells,
+	 * by freezing it into a MazeSnapshot and returning that snapshot's graph.
+	 *
+	 * @param problem The MazeProblem to compile
+	 * @return A MazeGraph of the problem's passable tiles
+	 */
+	public static MazeGraph compile(MazeProblem problem) {
+		return problem.freeze().getGraph();
+	}
+
+	/**
+	 * Returns the Hilbert-ordered MazeGraph of the given MazeSnapshot, which is
+	 * compiled at most once per snapshot.
+	 *
+	 * @param snapshot The MazeSnapshot to compile
+	 * @return The MazeGraph of the snapshot's passable tiles
+	 */
+	public static MazeGraph compile(MazeSnapshot snapshot) {
+		return snapshot.getGraph();
+	}
+
+	/**
+	 * Compiles a new MazeGraph from the given MazeSnapshot, numbering its cells
+	 * either along a Hilbert curve or in plain row-major order; the latter exists
+	 * only so the two layouts can be benchmarked against each other. This is the
+	 * only method that builds a graph; MazeSnapshot.getGraph() caches its result.
+	 *
+	 * @param snapshot     The MazeSnapshot to compile
+	 * @param hilbertOrder Whether to number cells along a Hilbert curve
+	 * @return A new MazeGraph of the snapshot's passable tiles
+	 */
+	static MazeGraph compile(MazeSnapshot snapshot, boolean hilbertOrder) {
+		return new MazeGraph(snapshot, hilbertOrder ? hilbertOrder(snapshot) : rowMajorOrder(snapshot));
+	}
+
+	/**
+	 * @return The row-major grid indices of every passable tile, in row-major
+	 *         order
+	 */
+	private static int[] rowMajorOrder(MazeSnapshot snapshot) {
+		int count = 0;
+		for (char tile : snapshot.tiles) {
+			if (tile != 'X') {
+				count++;
+			}
+		}
+		int[] order = new int[count];
+		for (int grid = 0, i = 0; i < count; grid++) {
+			if (snapshot.tiles[grid] != 'X') {
+				order[i++] = grid;
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * @return The row-major grid indices of every passable tile, in the order
+	 *         they are visited by a Hilbert curve covering the maze
+	 */
+	private static int[] hilbertOrder(MazeSnapshot snapshot) {
+		int side = 1;
+		while (side < Math.max(snapshot.cols, snapshot.rows)) {
+			side <<= 1;
+		}
+		int[] rowMajor = rowMajorOrder(snapshot);
+		long[] curve = new long[rowMajor.length];
+		for (int i = 0; i < rowMajor.length; i++) {
+			curve[i] = hilbertIndex(side, rowMajor[i] % snapshot.cols, rowMajor[i] / snapshot.cols);
+		}
+		Arrays.sort(curve);
+		int[] order = new int[curve.length];
+		for (int i = 0; i < curve.length; i++) {
+			long xy = hilbertPoint(side, curve[i]);
+			order[i] = (int) (xy >>> 32) * snapshot.cols + (int) xy;
+		}
+		return order;
+	}
+
+	/**
+	 * Returns the distance along a Hilbert curve filling a side x side square of
+	 * the given point.
+	 *
+	 * @param side A power of two at least as large as the maze in both directions
+	 * @param x    The column of the point
+	 * @param y    The row of the point
+	 * @return The Hilbert index of (x, y)
+	 */
+	static long hilbertIndex(int side, int x, int y) {
+		long d = 0;
+		for (int s = side >>> 1; s > 0; s >>>= 1) {
+			int rx = (x & s) != 0 ? 1 : 0, ry = (y & s) != 0 ? 1 : 0;
+			d += (long) s * s * ((3 * rx) ^ ry);
+			if (ry == 0) {
+				if (rx == 1) {
+					x = s - 1 - x;
+					y = s - 1 - y;
+				}
+				int swap = x;
+				x = y;
+				y = swap;
+			}
+		}
+		return d;
+	}
+
+	/**
+	 * Inverse of hilbertIndex.
+	 *
+	 * @param side A power of two at least as large as the maze in both directions
+	 * @param d    A Hilbert index
+	 * @return The point at that index, packed as (row << 32 | col)
+	 */
+	static long hilbertPoint(int side, long d) {
+		int x = 0, y = 0;
+		for (int s = 1; s < side; s <<= 1, d >>>= 2) {
+			int rx = (int) (1 & (d >>> 1)), ry = (int) (1 & (d ^ rx));
+			if (ry == 0) {
+				if (rx == 1) {
+					x = s - 1 - x;
+					y = s - 1 - y;
+				}
+				int swap = x;
+				x = y;
+				y = swap;
+			}
+			x += s * rx;
+			y += s * ry;
+		}
+		return ((long) y << 32) | x;
+	}
+
+	// Constructor
+	// -----------------------------------------------------------------------------
+	/**
+	 * Constructs a new MazeGraph whose cell ids follow the given order.
+	 *
+	 * @param snapshot The MazeSnapshot to compile
+	 * @param order    The row-major grid index of every passable tile, indexed by
+	 *                 the cell id it should receive
+	 */
+	private MazeGraph(MazeSnapshot snapshot, int[] order) {
+		this.cols = snapshot.cols;
+		this.rows = snapshot.rows;
+		this.cellCount = order.length;
+		this.cellCol = new int[cellCount];
+		this.cellRow = new int[cellCount];
+		this.cellTile = new char[cellCount];
+		this.gridToCell = new int[snapshot.tiles.length];
+		Arrays.fill(gridToCell, -1);
+		for (int cell = 0; cell < cellCount; cell++) {
+			int grid = order[cell];
+			cellCol[cell] = grid % cols;
+			cellRow[cell] = grid / cols;
+			cellTile[cell] = snapshot.tiles[grid];
+			gridToCell[grid] = cell;
+		}
+
+		// Each cell has at most 4 edges; count first, then fill in U, D, L, R order
+		this.offsets = new int[cellCount + 1];
+		int[] scratch = new int[4];
+		for (int cell = 0; cell < cellCount; cell++) {
+			offsets[cell + 1] = offsets[cell] + adjacent(cell, scratch);
+		}
+		this.neighbors = new int[offsets[cellCount]];
+		this.costs = new int[neighbors.length];
+		for (int cell = 0; cell < cellCount; cell++) {
+			int degree = adjacent(cell, scratch);
+			for (int i = 0; i < degree; i++) {
+				neighbors[offsets[cell] + i] = scratch[i];
+				costs[offsets[cell] + i] = cellTile[scratch[i]] == 'M' ? 3 : 1;
+			}
+		}
+
+		this.keys = toCells(snapshot.keyGrids);
+		this.goals = toCells(snapshot.goalGrids);
+		this.isKeyCell = toMask(keys);
+		this.isGoalCell = toMask(goals);
+	}
+
+	/**
+	 * Writes the cell ids of the passable tiles adjacent to the given cell into
+	 * the given array, in U, D, L, R order.
+	 *
+	 * @return The number of adjacent cells written
+	 */
+	private int adjacent(int cell, int[] result) {
+		int grid = cellRow[cell] * cols + cellCol[cell], count = 0;
+		if (cellRow[cell] > 0 && gridToCell[grid - cols] >= 0) {
+			result[count++] = gridToCell[grid - cols];
+		}
+		if (cellRow[cell] < rows - 1 && gridToCell[grid + cols] >= 0) {
+			result[count++] = gridToCell[grid + cols];
+		}
+		if (cellCol[cell] > 0 && gridToCell[grid - 1] >= 0) {
+			result[count++] = gridToCell[grid - 1];
+		}
+		if (cellCol[cell] < cols - 1 && gridToCell[grid + 1] >= 0) {
+			result[count++] = gridToCell[grid + 1];
+		}
+		return count;
+	}
+
+	/**
+	 * @return The cell ids of the given row-major grid indices, leaving out any
+	 *         that lie on a wall and so can never be reached
+	 */
+	private int[] toCells(int[] grids) {
+		int[] result = new int[grids.length];
+		int count = 0;
+		for (int grid : grids) {
+			if (gridToCell[grid] >= 0) {
+				result[count++] = gridToCell[grid];
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * @return A bitmap over every cell, set at each of the given cell ids
+	 */
+	private boolean[] toMask(int[] cells) {
+		boolean[] result = new boolean[cellCount];
+		for (int cell : cells) {
+			result[cell] = true;
+		}
+		return result;
+	}
+
+	// Methods
+	// -----------------------------------------------------------------------------
+
+	/**
+	 * @return The number of passable cells in the graph
+	 */
+	public int getCellCount() {
+		return cellCount;
+	}
+
+	/**
+	 * Returns the cell id of the given state.
+	 *
+	 * @param state A MazeState (col, row)
+	 * @return The cell id of the state, or -1 if it is a wall or outside the maze
+	 */
+	public int cellOf(MazeState state) {
+		if (state.row < 0 || state.row >= rows || state.col < 0 || state.col >= cols) {
+			return -1;
+		}
+		return gridToCell[state.row * cols + state.col];
+	}
+
+	/**
+	 * @param cell A cell id in this graph
+	 * @return The MazeState (col, row) of the given cell
+	 */
+	public MazeState stateOf(int cell) {
+		return new MazeState(cellCol[cell], cellRow[cell]);
+	}
+
+	/**
+	 * Returns the action that moves from one cell to an adjacent one.
+	 *
+	 * @param from The cell id moved from
+	 * @param to   An adjacent cell id moved to
+	 * @return One of "U", "D", "L", "R"
+	 */
+	String actionBetween(int from, int to) {
+		if (cellRow[to] != cellRow[from]) {
+			return cellRow[to] < cellRow[from] ? "U" : "D";
+		}
+		return cellCol[to] < cellCol[from] ? "L" : "R";
+	}
+}
@@ -0,0 +1,153 @@
+package pathfinder.informed;
+
+import java.util.*;
+
+/**
+ * Throughput benchmark for the compiled MazeGraph: solves one large random maze
+ * from many random starts with the original grid-based Pathfinder, a MazeGraph
+ * with row-major cell ids, and a MazeGraph with Hilbert-ordered cell ids. Every
+ * layout solves the same starts, and the graph layouts are timed over several
+ * interleaved rounds so that the spread between rounds is visible next to the
+ * difference between layouts. Run it directly with:
+ *
+ * <pre>
+ * java pathfinder.informed.MazeGraphBenchmark [size] [starts] [rounds] [graph|rowmajor|hilbert|grid]
+ * </pre>
+ *
+ * The default, graph, times both graph layouts. The original Pathfinder has to
+ * be asked for explicitly with grid: its frontier keeps duplicate nodes, so it
+ * is orders of magnitude slower and can run out of memory on large mazes.
+ *
+ * The two graph layouts break ties between equally cheap paths differently, so
+ * they may expand different cells and return different paths of the same cost;
+ * averaging over many starts evens this out. The JVM cannot read hardware
+ * counters itself; to compare cache misses, run a single layout at a time under
+ * e.g. <code>perf stat -e cache-misses</code>.
+ */
+public class MazeGraphBenchmark {
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+		String layout = args.length > 3 ? args[3] : "graph";
+
+		Random random = new Random(282);
+		String[] maze = PathfinderLoadHarness.randomMaze(size, size, random);
+		List<MazeState> starts = PathfinderLoadHarness.randomStarts(maze, queries, random);
+		// Grid mode rewrites the start tile to 'I', which would drop a Key or Goal
+		starts.removeIf(start -> "KG".indexOf(maze[start.row].charAt(start.col)) >= 0);
+		MazeSnapshot snapshot = new MazeProblem(maze).freeze();
+		System.out.printf("maze %dx%d, %d passable cells, %d starts, %d rounds%n", size, size,
+				snapshot.getGraph().getCellCount(), starts.size(), rounds);
+
+		if (layout.equals("grid")) {
+			benchmarkGrid(maze, starts);
+		}
+		List<String> names = new ArrayList<>();
+		List<MazeGraph> graphs = new ArrayList<>();
+		if (layout.equals("rowmajor") || layout.equals("graph")) {
+			names.add("rowmajor");
+			graphs.add(MazeGraph.compile(snapshot, false));
+		}
+		if (layout.equals("hilbert") || layout.equals("graph")) {
+			names.add("hilbert");
+			graphs.add(MazeGraph.compile(snapshot, true));
+		}
+		benchmarkGraphs(names, graphs, starts, rounds);
+	}
+
+	/**
+	 * Times the original Pathfinder once from each start; it is too slow on large
+	 * mazes to repeat over several rounds.
+	 */
+	private static void benchmarkGrid(String[] maze, List<MazeState> starts) {
+		long[] latencies = new long[starts.size()];
+		long pathLength = 0;
+		for (int i = 0; i < latencies.length; i++) {
+			MazeProblem problem = new MazeProblem(moveInitial(maze, starts.get(i)));
+			long begin = System.nanoTime();
+			ArrayList<String> path = Pathfinder.solveOnGrid(problem);
+			latencies[i] = System.nanoTime() - begin;
+			pathLength += path == null ? 0 : path.size();
+		}
+		double mean = Arrays.stream(latencies).average().orElse(0) / 1e6;
+		report("grid", new double[] { mean }, latencies, pathLength);
+	}
+
+	/**
+	 * Times each graph layout over the given number of rounds, alternating which
+	 * layout goes first, after one untimed warm-up round.
+	 */
+	private static void benchmarkGraphs(List<String> names, List<MazeGraph> graphs, List<MazeState> starts,
+			int rounds) {
+		int layouts = graphs.size();
+		SearchScratch[] scratches = new SearchScratch[layouts];
+		for (int i = 0; i < layouts; i++) {
+			scratches[i] = new SearchScratch(graphs.get(i));
+			runRound(graphs.get(i), scratches[i], starts, new long[starts.size()]);
+		}
+		double[][] roundMeans = new double[layouts][rounds];
+		long[][] latencies = new long[layouts][starts.size() * rounds];
+		long[] pathLengths = new long[layouts];
+		for (int round = 0; round < rounds; round++) {
+			for (int j = 0; j < layouts; j++) {
+				int i = round % 2 == 0 ? j : layouts - 1 - j;
+				long[] roundLatencies = new long[starts.size()];
+				pathLengths[i] = runRound(graphs.get(i), scratches[i], starts, roundLatencies);
+				roundMeans[i][round] = Arrays.stream(roundLatencies).average().orElse(0) / 1e6;
+				System.arraycopy(roundLatencies, 0, latencies[i], round * starts.size(), starts.size());
+			}
+		}
+		for (int i = 0; i < layouts; i++) {
+			report(names.get(i), roundMeans[i], latencies[i], pathLengths[i]);
+		}
+	}
+
+	/**
+	 * Solves once from each start, recording each solve's latency in nanoseconds.
+	 *
+	 * @return The total length of the paths found
+	 */
+	private static long runRound(MazeGraph graph, SearchScratch scratch, List<MazeState> starts, long[] latencies) {
+		long pathLength = 0;
+		for (int i = 0; i < latencies.length; i++) {
+			long begin = System.nanoTime();
+			ArrayList<String> path = scratch.solve(graph, starts.get(i));
+			latencies[i] = System.nanoTime() - begin;
+			pathLength += path == null ? 0 : path.size();
+		}
+		return pathLength;
+	}
+
+	/**
+	 * Prints the min, median, and max of the per-round mean solve times, followed
+	 * by the p50/p99 of every individual solve.
+	 */
+	private static void report(String name, double[] roundMeans, long[] latencies, long pathLength) {
+		double[] means = roundMeans.clone();
+		long[] sorted = latencies.clone();
+		Arrays.sort(means);
+		Arrays.sort(sorted);
+		System.out.printf("%-8s mean ms/solve per round: min %8.3f median %8.3f max %8.3f | "
+				+ "p50 %8.3f p99 %8.3f ms | total path length %d%n", name, means[0], means[means.length / 2],
+				means[means.length - 1], sorted[sorted.length / 2] / 1e6,
+				sorted[Math.max(0, (int) Math.ceil(0.99 * sorted.length) - 1)] / 1e6, pathLength);
+	}
+
+	/**
+	 * @return A copy of the given maze with its Initial tile moved to the given
+	 *         start, which must not be a Key or Goal tile
+	 */
+	private static String[] moveInitial(String[] maze, MazeState start) {
+		String[] result = new String[maze.length];
+		for (int row = 0; row < maze.length; row++) {
+			char[] tiles = maze[row].replace('I', '.').toCharArray();
+			if (row == start.row) {
+				tiles[start.col] = 'I';
+			}
+			result[row] = new String(tiles);
+		}
+		return result;
+	}
+}
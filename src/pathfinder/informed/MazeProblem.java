@@ -84,6 +84,21 @@ public class MazeProblem {
 	// Methods
 	// -----------------------------------------------------------------------------
 
+	/**
+	 * Freezes this MazeProblem into an immutable MazeSnapshot that can be shared
+	 * safely between threads. The snapshot is built from the current contents of
+	 * INITIAL_STATE, GOAL_STATES and KEY_STATES; later changes to them are not
+	 * reflected in the snapshot. The snapshot's MazeGraph is compiled here, so
+	 * that the first query against it does not pay for it.
+	 *
+	 * @return A MazeSnapshot of this problem's maze and current states
+	 */
+	public MazeSnapshot freeze() {
+		MazeSnapshot snapshot = new MazeSnapshot(maze, INITIAL_STATE, GOAL_STATES, KEY_STATES);
+		snapshot.getGraph();
+		return snapshot;
+	}
+
 	/**
 	 * Returns whether or not the given state is a Goal state.
 	 * 
@@ -150,8 +165,7 @@ public class MazeProblem {
 	public Map<String, MazeState> getTransitions(MazeState state) {
 		Map<String, MazeState> result = new HashMap<>();
 		for (Map.Entry<String, MazeState> action : TRANS_MAP.entrySet()) {
-			MazeState actionMod = action.getValue(), newState = new MazeState(state.col, state.row);
-			newState.add(actionMod);
+			MazeState newState = state.plus(action.getValue());
 			if (newState.row >= 0 && newState.row < rows && newState.col >= 0 && newState.col < cols
 					&& maze[newState.row].charAt(newState.col) != 'X') {
 				result.put(action.getKey(), newState);
@@ -171,14 +185,13 @@ public class MazeProblem {
 	 *         integer denoting the cost of the given solution to test optimality
 	 */
 	public int[] testSolution(ArrayList<String> possibleSoln) {
-		MazeState movingState = new MazeState(INITIAL_STATE.col, INITIAL_STATE.row);
+		MazeState movingState = INITIAL_STATE;
 		int cost = 0;
 		boolean hasKey = false;
 		int[] result = { 0, -1 };
 
 		for (String action : possibleSoln) {
-			MazeState actionMod = TRANS_MAP.get(action);
-			movingState.add(actionMod);
+			movingState = movingState.plus(TRANS_MAP.get(action));
 			switch (maze[movingState.row].charAt(movingState.col)) {
 			case 'X':
 				return result;
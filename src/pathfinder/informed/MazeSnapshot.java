@@ -0,0 +1,277 @@
+package pathfinder.informed;
+
+import java.util.*;
+
+/**
+ * Immutable, freeze-once view of a MazeProblem that can be shared across any
+ * number of threads without copying. It captures the problem's Initial, Goal
+ * and Key states as they are at the time of freezing. Tiles are stored
+ * row-major in a single char array, and every position is addressed by its
+ * row-major grid index, i.e., (row * cols + col). Goal and Key states are kept
+ * as sorted arrays of grid indices and as bitmaps over every tile rather than
+ * HashSets, so no caller can alter the snapshot after construction. All
+ * searches run on the snapshot's MazeGraph, which is compiled once, either by
+ * MazeProblem.freeze() or on first use.
+ */
+public final class MazeSnapshot {
+
+	// Fields
+	// -----------------------------------------------------------------------------
+	final int rows, cols;
+	final char[] tiles;
+	final int initialGrid;
+	final int[] goalGrids;
+	final int[] keyGrids;
+	final boolean[] isGoalGrid;
+	final boolean[] isKeyGrid;
+	private volatile MazeGraph graph;
+
+	// Constructor
+	// -----------------------------------------------------------------------------
+	/**
+	 * Constructs a new MazeSnapshot from the given maze, using the same format and
+	 * validation as MazeProblem, and from the given Initial, Goal and Key states.
+	 * The maze and the states are copied, so later changes to the given array or
+	 * sets are not reflected in the snapshot.
+	 *
+	 * @param maze    An array of Strings in which characters represent the legal
+	 *                maze entities; see the MazeProblem constructor for the format.
+	 * @param initial The MazeState (col, row) of the Initial state, or null
+	 * @param goals   The MazeStates of every Goal state
+	 * @param keys    The MazeStates of every Key state
+	 */
+	MazeSnapshot(String[] maze, MazeState initial, Set<MazeState> goals, Set<MazeState> keys) {
+		this.rows = maze.length;
+		this.cols = (rows == 0) ? 0 : maze[0].length();
+		this.tiles = new char[rows * cols];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < cols; col++) {
+				char tile = maze[row].charAt(col);
+				switch (tile) {
+				case 'I':
+				case 'G':
+				case 'K':
+				case 'M':
+				case '.':
+				case 'X':
+					break;
+				default:
+					throw new IllegalArgumentException("Maze formatted invalidly");
+				}
+				tiles[row * cols + col] = tile;
+			}
+		}
+		this.initialGrid = (initial == null) ? -1 : checkedGridOf(initial);
+		this.goalGrids = toGrids(goals);
+		this.keyGrids = toGrids(keys);
+		this.isGoalGrid = toMask(goalGrids);
+		this.isKeyGrid = toMask(keyGrids);
+	}
+
+	/**
+	 * Returns the ascending grid indices of the given states.
+	 *
+	 * @param states The MazeStates (col, row) to collect
+	 * @return int array of grid indices, sorted
+	 */
+	private int[] toGrids(Set<MazeState> states) {
+		int[] result = new int[states.size()];
+		int i = 0;
+		for (MazeState state : states) {
+			result[i++] = checkedGridOf(state);
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Returns a bitmap over every tile, set at each of the given grid indices.
+	 *
+	 * @param grids The grid indices to mark
+	 * @return boolean array indexed by grid index
+	 */
+	private boolean[] toMask(int[] grids) {
+		boolean[] result = new boolean[tiles.length];
+		for (int grid : grids) {
+			result[grid] = true;
+		}
+		return result;
+	}
+
+	/**
+	 * @param state A MazeState (col, row) that must lie within the maze
+	 * @return The row-major grid index of the given state
+	 * @throws IllegalArgumentException if the state lies outside the maze
+	 */
+	private int checkedGridOf(MazeState state) {
+		if (!inBounds(state)) {
+			throw new IllegalArgumentException("State is outside the maze: " + state);
+		}
+		return gridOf(state);
+	}
+
+	// Methods
+	// -----------------------------------------------------------------------------
+
+	/**
+	 * @return The MazeState (col, row) of the Initial state, or null if the
+	 *         maze has none.
+	 */
+	public MazeState getInitialState() {
+		return initialGrid < 0 ? null : stateOf(initialGrid);
+	}
+
+	/**
+	 * Returns the compiled MazeGraph of this snapshot's passable tiles, compiling
+	 * it on the first call.
+	 *
+	 * @return The Hilbert-ordered MazeGraph of this snapshot
+	 */
+	public MazeGraph getGraph() {
+		MazeGraph result = graph;
+		if (result == null) {
+			synchronized (this) {
+				result = graph;
+				if (result == null) {
+					graph = result = MazeGraph.compile(this, true);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The number of Goal states in the maze.
+	 */
+	public int getGoalCount() {
+		return goalGrids.length;
+	}
+
+	/**
+	 * @return The number of Key states in the maze.
+	 */
+	public int getKeyCount() {
+		return keyGrids.length;
+	}
+
+	/**
+	 * Returns whether or not the given state is a Goal state.
+	 *
+	 * @param state A MazeState (col, row) to test
+	 * @return Boolean of whether or not the given state is a Goal
+	 */
+	public boolean isGoal(MazeState state) {
+		return inBounds(state) && isGoalGrid[gridOf(state)];
+	}
+
+	/**
+	 * Returns whether or not the given state is a Key state.
+	 *
+	 * @param state A MazeState (col, row) to test
+	 * @return Boolean of whether or not the given state is a Key
+	 */
+	public boolean isKey(MazeState state) {
+		return inBounds(state) && isKeyGrid[gridOf(state)];
+	}
+
+	/**
+	 * Returns the cost of moving onto the given state, following the same rules
+	 * as MazeProblem: 3 units for a Mud tile, 0 for a wall, and 1 otherwise.
+	 *
+	 * @param state A MazeState(col, row) to test
+	 * @return Integer equating to the total cost to move to the given tile
+	 * @throws IllegalArgumentException if the state lies outside the maze
+	 */
+	public int getCost(MazeState state) {
+		return costOf(checkedGridOf(state));
+	}
+
+	/**
+	 * Given a possibleSoln, tests to ensure that it is indeed a solution to this
+	 * maze, as well as returning the cost; see MazeProblem.testSolution.
+	 *
+	 * @param possibleSoln A possible solution to test, which is a list of actions
+	 *                     of the format: ["U", "D", "D", "L", ...]
+	 * @return A 2-element array of ints of the format [isSoln, cost]
+	 */
+	public int[] testSolution(List<String> possibleSoln) {
+		int col = initialGrid % cols, row = initialGrid / cols, cost = 0;
+		boolean hasKey = false;
+		int[] result = { 0, -1 };
+
+		for (String action : possibleSoln) {
+			switch (action) {
+			case "U":
+				row--;
+				break;
+			case "D":
+				row++;
+				break;
+			case "L":
+				col--;
+				break;
+			case "R":
+				col++;
+				break;
+			default:
+				return result;
+			}
+			if (row < 0 || row >= rows || col < 0 || col >= cols) {
+				return result;
+			}
+			int grid = row * cols + col;
+			if (tiles[grid] == 'X') {
+				return result;
+			}
+			if (isKeyGrid[grid]) {
+				hasKey = true;
+			}
+			cost += costOf(grid);
+		}
+		result[0] = isGoalGrid[row * cols + col] && hasKey ? 1 : 0;
+		result[1] = cost;
+		return result;
+	}
+
+	// Grid Helpers
+	// -----------------------------------------------------------------------------
+
+	/**
+	 * @param state A MazeState (col, row) to test
+	 * @return Whether or not the given state lies within the maze
+	 */
+	boolean inBounds(MazeState state) {
+		return state.row >= 0 && state.row < rows && state.col >= 0 && state.col < cols;
+	}
+
+	/**
+	 * @param state A MazeState (col, row) inside the maze
+	 * @return The row-major grid index of the given state
+	 */
+	int gridOf(MazeState state) {
+		return state.row * cols + state.col;
+	}
+
+	/**
+	 * @param grid A row-major grid index inside the maze
+	 * @return The MazeState (col, row) of the given grid index
+	 */
+	MazeState stateOf(int grid) {
+		return new MazeState(grid % cols, grid / cols);
+	}
+
+	/**
+	 * @param grid A row-major grid index inside the maze
+	 * @return The cost of moving onto the given tile
+	 */
+	int costOf(int grid) {
+		switch (tiles[grid]) {
+		case 'M':
+			return 3;
+		case 'X':
+			return 0;
+		default:
+			return 1;
+		}
+	}
+}
@@ -2,11 +2,12 @@ package pathfinder.informed;
 
 /**
  * Maze Pathfinding representation of a given state, i.e., an occupiable
- * position in the given maze.
+ * position in the given maze. MazeStates are immutable values, so they can be
+ * shared freely between threads and used safely as HashSet / HashMap keys.
  */
 public class MazeState {
 
-	public int col, row;
+	public final int col, row;
 
 	/**
 	 * Constructs a new MazeState, which tracks the given row and column that it
@@ -23,14 +24,15 @@ public class MazeState {
 	}
 
 	/**
-	 * [Mutator] Adds the coordinates of the given other MazeState to this one's;
-	 * useful for computing offsets given in MazeProblem transitions.
+	 * Returns a new MazeState whose coordinates are the sum of this one's and the
+	 * given other's; useful for computing offsets given in MazeProblem
+	 * transitions.
 	 * 
 	 * @param other The other MazeState to add to this one.
+	 * @return A new MazeState (col + other.col, row + other.row)
 	 */
-	public void add(MazeState other) {
-		this.col += other.col;
-		this.row += other.row;
+	public MazeState plus(MazeState other) {
+		return new MazeState(col + other.col, row + other.row);
 	}
 
 	@Override
@@ -41,7 +43,7 @@ public class MazeState {
 
 	@Override
 	public int hashCode() {
-		return row * col;
+		return 31 * row + col;
 	}
 
 	public String toString() {
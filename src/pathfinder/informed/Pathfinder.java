@@ -9,9 +9,25 @@ import java.util.*;
  */
 public class Pathfinder {
 
+	/**
+	 * Returns the path of necessary actions to be taken from the Initial to the
+	 * Key to the nearest Goal, if the path exists. The problem is frozen into a
+	 * MazeSnapshot and searched on its compiled MazeGraph; see
+	 * solve(MazeSnapshot).
+	 * 
+	 * @param problem MazeProblem object, to provide the maze and its Initial, Key
+	 *                and Goal States
+	 * @return An ArrayList of actions to get from the Initial to the Goal State
+	 */
+	public static ArrayList<String> solve(MazeProblem problem) {
+		return solve(problem.freeze());
+	}
+
 	/**
 	 * Returns the path of necessary actions to be taken from the initial to the Key
-	 * to the nearest Goal, if the path exists. This is done by calling the
+	 * to the nearest Goal, if the path exists, by searching the MazeProblem's
+	 * transitions directly rather than a compiled MazeGraph. Kept only as the
+	 * baseline for MazeGraphBenchmark. This is done by calling the
 	 * searchPath function twice: once in order to find the path from the Initial
 	 * State in the maze to the Key State, should such a path exist, and then
 	 * another time in order to find the path from the Key State to the nearest Goal
@@ -22,7 +38,7 @@ public class Pathfinder {
 	 *                as the cost to get to the current MazeState to the Goal State
 	 * @return An ArrayList of actions to get from the Initial to the Goal State
 	 */
-	public static ArrayList<String> solve(MazeProblem problem) {
+	static ArrayList<String> solveOnGrid(MazeProblem problem) {
 		if (problem.KEY_STATES.size() == 0) {
 			return null;
 		} else if (problem.GOAL_STATES.size() == 0) {
@@ -51,6 +67,20 @@ public class Pathfinder {
 		return path;
 	}
 
+	/**
+	 * Returns the path of necessary actions to be taken from the Initial to the
+	 * Key to the nearest Goal of the given immutable MazeSnapshot, if the path
+	 * exists. To serve many solves against one snapshot, use a
+	 * ConcurrentPathfinder, which reuses its search buffers between calls.
+	 *
+	 * @param snapshot MazeSnapshot to solve
+	 * @return An ArrayList of actions to get from the Initial to the Goal State
+	 */
+	public static ArrayList<String> solve(MazeSnapshot snapshot) {
+		MazeGraph graph = snapshot.getGraph();
+		return new SearchScratch(graph).solve(graph, snapshot.getInitialState());
+	}
+
 	/**
 	 * Returns the history of a given TreeNode object based on its parent's history
 	 * 
@@ -0,0 +1,189 @@
+package pathfinder.informed;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load-test harness for ConcurrentPathfinder: serves many solves from random
+ * starts against one shared MazeSnapshot and reports p50/p99 latency and
+ * throughput. Not a unit test; run it directly with:
+ *
+ * <pre>
+ * java pathfinder.informed.PathfinderLoadHarness [threads] [queries] [size]
+ * </pre>
+ */
+public class PathfinderLoadHarness {
+
+	public static void main(String[] args) throws Exception {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int size = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+
+		Random random = new Random(282);
+		String[] maze = randomMaze(size, size, random);
+		MazeSnapshot snapshot = new MazeProblem(maze).freeze();
+		List<MazeState> starts = randomStarts(maze, queries, random);
+
+		ExecutorService clients = Executors.newFixedThreadPool(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try (ConcurrentPathfinder pathfinder = new ConcurrentPathfinder(snapshot, executor)) {
+			// Warm up the JIT and the scratch pool before measuring
+			run(pathfinder, clients, threads, starts.subList(0, Math.min(queries, 200)), new int[1]);
+			int[] solved = new int[1];
+			long begin = System.nanoTime();
+			long[] latencies = run(pathfinder, clients, threads, starts, solved);
+			long elapsed = System.nanoTime() - begin;
+			Arrays.sort(latencies);
+			System.out.printf("maze %dx%d, %d threads, %d queries, %d solved%n", size, size, threads, queries,
+					solved[0]);
+			System.out.printf("p50 %.3f ms, p99 %.3f ms, max %.3f ms%n", percentile(latencies, 50) / 1e6,
+					percentile(latencies, 99) / 1e6, latencies[latencies.length - 1] / 1e6);
+			System.out.printf("throughput %.1f queries/s%n", queries / (elapsed / 1e9));
+		} finally {
+			clients.shutdown();
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Runs one query per start through ConcurrentPathfinder.submit, from the given
+	 * number of client threads that each wait for their query before sending the
+	 * next, and returns each query's latency in nanoseconds.
+	 *
+	 * @param solved Single-element array that receives the number of queries
+	 *               that found a path
+	 */
+	private static long[] run(ConcurrentPathfinder pathfinder, ExecutorService clients, int threads,
+			List<MazeState> starts, int[] solved) throws InterruptedException, ExecutionException {
+		long[] latencies = new long[starts.size()];
+		AtomicInteger next = new AtomicInteger(), found = new AtomicInteger();
+		List<Future<?>> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(clients.submit(() -> {
+				for (int i = next.getAndIncrement(); i < latencies.length; i = next.getAndIncrement()) {
+					long begin = System.nanoTime();
+					if (pathfinder.submit(starts.get(i)).get() != null) {
+						found.incrementAndGet();
+					}
+					latencies[i] = System.nanoTime() - begin;
+				}
+				return null;
+			}));
+		}
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		solved[0] = found.get();
+		return latencies;
+	}
+
+	/**
+	 * Returns the given number of random starts, sampled from the open tiles that
+	 * are reachable from the maze's Initial tile.
+	 */
+	static List<MazeState> randomStarts(String[] maze, int count, Random random) {
+		int rows = maze.length, cols = maze[0].length(), initial = -1;
+		for (int grid = 0; grid < rows * cols && initial < 0; grid++) {
+			if (maze[grid / cols].charAt(grid % cols) == 'I') {
+				initial = grid;
+			}
+		}
+		int[] reachable = new int[rows * cols];
+		reachable = Arrays.copyOf(reachable, floodFill(maze, initial, new boolean[rows * cols], reachable));
+		List<MazeState> starts = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int grid = reachable[random.nextInt(reachable.length)];
+			starts.add(new MazeState(grid % cols, grid / cols));
+		}
+		return starts;
+	}
+
+	/**
+	 * @return The nearest-rank percentile of the given sorted latencies
+	 */
+	private static long percentile(long[] sorted, int percent) {
+		int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * Builds a walled maze of the given size with roughly 25% walls and 10% mud.
+	 * The Initial, Key, and Goal tiles are placed in the largest open region, as
+	 * close as possible to the upper-left corner, the center, and the lower-right
+	 * corner respectively, so that every solve from that region finds a path.
+	 */
+	static String[] randomMaze(int cols, int rows, Random random) {
+		char[][] grid = new char[rows][cols];
+		String[] maze = new String[rows];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < cols; col++) {
+				boolean border = row == 0 || col == 0 || row == rows - 1 || col == cols - 1;
+				int roll = random.nextInt(100);
+				grid[row][col] = border || roll < 25 ? 'X' : roll < 35 ? 'M' : '.';
+			}
+			maze[row] = new String(grid[row]);
+		}
+
+		int largestStart = -1, largestSize = 0;
+		boolean[] visited = new boolean[rows * cols];
+		int[] region = new int[rows * cols];
+		for (int start = 0; start < rows * cols; start++) {
+			if (!visited[start] && grid[start / cols][start % cols] != 'X') {
+				int size = floodFill(maze, start, visited, region);
+				if (size > largestSize) {
+					largestStart = start;
+					largestSize = size;
+				}
+			}
+		}
+		int[] largest = Arrays.copyOf(region, floodFill(maze, largestStart, new boolean[rows * cols], region));
+		place(grid, largest, 1, 1, 'I');
+		place(grid, largest, cols / 2, rows / 2, 'K');
+		place(grid, largest, cols - 2, rows - 2, 'G');
+		for (int row = 0; row < rows; row++) {
+			maze[row] = new String(grid[row]);
+		}
+		return maze;
+	}
+
+	/**
+	 * Places the given tile on the free tile of the region closest to (col, row).
+	 */
+	private static void place(char[][] grid, int[] region, int col, int row, char tile) {
+		int cols = grid[0].length, best = -1, bestDistance = Integer.MAX_VALUE;
+		for (int cell : region) {
+			int distance = Math.abs(cell % cols - col) + Math.abs(cell / cols - row);
+			if (distance < bestDistance && (grid[cell / cols][cell % cols] == '.'
+					|| grid[cell / cols][cell % cols] == 'M')) {
+				best = cell;
+				bestDistance = distance;
+			}
+		}
+		grid[best / cols][best % cols] = tile;
+	}
+
+	/**
+	 * Writes the row-major grid indices of every open tile reachable from the
+	 * given one into queue, marking each of them in visited.
+	 *
+	 * @return The number of grid indices written
+	 */
+	private static int floodFill(String[] maze, int start, boolean[] visited, int[] queue) {
+		int rows = maze.length, cols = maze[0].length(), size = 0;
+		visited[start] = true;
+		queue[size++] = start;
+		for (int head = 0; head < size; head++) {
+			int grid = queue[head], col = grid % cols, row = grid / cols;
+			int[] adjacent = { row > 0 ? grid - cols : -1, row < rows - 1 ? grid + cols : -1,
+					col > 0 ? grid - 1 : -1, col < cols - 1 ? grid + 1 : -1 };
+			for (int next : adjacent) {
+				if (next >= 0 && !visited[next] && maze[next / cols].charAt(next % cols) != 'X') {
+					visited[next] = true;
+					queue[size++] = next;
+				}
+			}
+		}
+		return size;
+	}
+}
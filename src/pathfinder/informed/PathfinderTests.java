@@ -3,6 +3,9 @@ package pathfinder.informed;
 import static org.junit.Assert.*;
 import org.junit.Test;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * Unit tests for Maze Pathfinder. Tests include completeness and optimality.
@@ -224,4 +227,176 @@ public class PathfinderTests {
 		assertEquals(5, result[1]); // Ensure that the solution is optimal
 	}
 
+
+	@Test
+	public void testSnapshot_t0() {
+		String[] maze = { "XXXXXXX", "XI.G..X", "X.MMMGX", "X.XKX.X", "XXXXXXX" };
+		MazeProblem prob = new MazeProblem(maze);
+		MazeSnapshot snapshot = prob.freeze();
+		ArrayList<String> solution = Pathfinder.solve(snapshot);
+
+		int[] result = snapshot.testSolution(solution);
+		assertEquals(1, result[0]);
+		assertEquals(10, result[1]);
+		assertArrayEquals(result, prob.testSolution(solution));
+	}
+
+	@Test
+	public void testSnapshot_t1() {
+		String[] maze = { "XXXXXXX", "XI.G..X", "X.MXMGX", "X.XKX.X", "XXXXXXX" };
+		MazeSnapshot snapshot = new MazeProblem(maze).freeze();
+		assertNull(Pathfinder.solve(snapshot));
+	}
+
+	@Test
+	public void testSnapshot_t2() {
+		String[] maze = { "XXXXXXX", "XI....X", "X.MMM.X", "X.XKXGX", "XXXXXXX" };
+		MazeProblem prob = new MazeProblem(maze);
+		MazeSnapshot snapshot = prob.freeze();
+		MazeState initial = snapshot.getInitialState();
+		assertEquals(new MazeState(2, 1), initial.plus(new MazeState(1, 0)));
+		prob.KEY_STATES.clear();
+
+		assertEquals(new MazeState(1, 1), snapshot.getInitialState());
+		assertEquals(1, snapshot.getKeyCount());
+		assertTrue(snapshot.isKey(new MazeState(3, 3)));
+		assertEquals(14, snapshot.testSolution(Pathfinder.solve(snapshot))[1]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSnapshot_t3() {
+		String[] maze = { "XXXXXXX", "XI....X", "X.MMM.X", "X.XKXGX", "XXXXXXX" };
+		MazeSnapshot snapshot = new MazeProblem(maze).freeze();
+		assertEquals(3, snapshot.getCost(new MazeState(2, 2)));
+		snapshot.getCost(new MazeState(7, 0));
+	}
+
+	@Test
+	public void testSnapshot_t4() {
+		String[] maze = { "XXXXXXX", "XI....X", "X.MMM.X", "X.XKXGX", "XXXXXXX" };
+		MazeProblem prob = new MazeProblem(maze);
+		prob.KEY_STATES.clear();
+		prob.KEY_STATES.add(new MazeState(5, 1));
+		prob.GOAL_STATES.clear();
+		prob.GOAL_STATES.add(new MazeState(1, 3));
+		MazeSnapshot snapshot = prob.freeze();
+
+		assertTrue(snapshot.isKey(new MazeState(5, 1)));
+		assertFalse(snapshot.isKey(new MazeState(3, 3)));
+		assertTrue(snapshot.isGoal(new MazeState(1, 3)));
+		assertFalse(snapshot.isGoal(new MazeState(5, 3)));
+		assertArrayEquals(new int[] { 1, 10 },
+				snapshot.testSolution(Arrays.asList("R", "R", "R", "R", "L", "L", "L", "L", "D", "D")));
+		assertArrayEquals(new int[] { 0, 6 }, snapshot.testSolution(Arrays.asList("R", "R", "R", "R", "D", "D")));
+		assertEquals(Arrays.asList("R", "R", "R", "R", "L", "L", "L", "L", "D", "D"), Pathfinder.solve(snapshot));
+	}
+
+	@Test
+	public void testConcurrent_t0() throws Exception {
+		String[] maze = { "XXXXXXX", "X.IXG.X", "X.M.MXX", "X..KXGX", "XXXXXXX" };
+		MazeSnapshot snapshot = new MazeProblem(maze).freeze();
+		try (ConcurrentPathfinder pathfinder = new ConcurrentPathfinder(snapshot)) {
+			List<Future<ArrayList<String>>> futures = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				futures.add(pathfinder.submit());
+			}
+			for (Future<ArrayList<String>> future : futures) {
+				int[] result = snapshot.testSolution(future.get());
+				assertEquals(1, result[0]);
+				assertEquals(10, result[1]);
+			}
+			assertNull(pathfinder.solve(new MazeState(5, 3)));
+		}
+	}
+
+	@Test
+	public void testGraph_t0() {
+		String[] maze = { "XXXXXXXXXXXXXXXX", "XIGGGGGGGGGGGGGX", "XGGGGGGGGGGGGGGX", "XGGGGGGGGGGGGGGX",
+				"XGGGGGGGGGGGGGGX", "XGGGGGGGGGGGGGGX", "XGGGGGGGGGGGGGGX", "XGGGGGGKGGGGGGGX", "XGGGGGGGGGGGGGGX",
+				"XXXXXXXXXXXXXXXX" };
+		MazeProblem prob = new MazeProblem(maze);
+		MazeGraph graph = MazeGraph.compile(prob);
+		assertEquals(14 * 8, graph.getCellCount());
+		assertEquals(-1, graph.cellOf(new MazeState(0, 0)));
+		for (int cell = 0; cell < graph.getCellCount(); cell++) {
+			assertEquals(cell, graph.cellOf(graph.stateOf(cell)));
+		}
+
+		ArrayList<String> solution = Pathfinder.solve(prob.freeze());
+		int[] result = prob.testSolution(solution);
+		assertEquals(1, result[0]);
+		assertEquals(13, result[1]);
+	}
+
+	@Test
+	public void testGraph_t1() {
+		for (int side = 1; side <= 16; side <<= 1) {
+			for (int y = 0; y < side; y++) {
+				for (int x = 0; x < side; x++) {
+					long d = MazeGraph.hilbertIndex(side, x, y);
+					assertEquals(((long) y << 32) | x, MazeGraph.hilbertPoint(side, d));
+				}
+			}
+		}
+
+		// Non-square maze: cells must still follow the curve of the covering square
+		String[] maze = { "I.M..K", "..X...", "M...G." };
+		MazeGraph graph = MazeGraph.compile(new MazeProblem(maze));
+		assertEquals(17, graph.getCellCount());
+		for (int cell = 1; cell < graph.getCellCount(); cell++) {
+			assertTrue(MazeGraph.hilbertIndex(8, graph.cellCol[cell - 1], graph.cellRow[cell - 1]) < MazeGraph
+					.hilbertIndex(8, graph.cellCol[cell], graph.cellRow[cell]));
+		}
+		for (int cell = 0; cell < graph.getCellCount(); cell++) {
+			assertEquals(cell, graph.cellOf(graph.stateOf(cell)));
+		}
+	}
+
+	@Test
+	public void testGraph_t2() {
+		String[] maze = { "I...", "....", "..K.", "...G" };
+		MazeGraph graph = MazeGraph.compile(new MazeProblem(maze));
+		assertEquals(16, graph.getCellCount());
+		assertEquals(0, graph.cellOf(new MazeState(0, 0)));
+		for (int quadrant = 0; quadrant < 4; quadrant++) {
+			int first = quadrant * 4;
+			for (int cell = first; cell < first + 4; cell++) {
+				assertEquals(graph.cellCol[first] / 2, graph.cellCol[cell] / 2);
+				assertEquals(graph.cellRow[first] / 2, graph.cellRow[cell] / 2);
+			}
+		}
+	}
+
+	@Test
+	public void testGraph_t3() {
+		String[] maze = { "XXXXXXX", "XI.MM.X", "X.XMX.X", "XKM..GX", "XXXXXXX" };
+		MazeGraph graph = MazeGraph.compile(new MazeProblem(maze));
+		int[][] offsets = { { 0, -1 }, { 0, 1 }, { -1, 0 }, { 1, 0 } };
+		int mudEdges = 0;
+		for (int cell = 0; cell < graph.getCellCount(); cell++) {
+			int open = 0;
+			for (int[] offset : offsets) {
+				if (maze[graph.cellRow[cell] + offset[1]].charAt(graph.cellCol[cell] + offset[0]) != 'X') {
+					open++;
+				}
+			}
+			assertEquals(open, graph.offsets[cell + 1] - graph.offsets[cell]);
+			for (int edge = graph.offsets[cell]; edge < graph.offsets[cell + 1]; edge++) {
+				int next = graph.neighbors[edge];
+				assertEquals(1, Math.abs(graph.cellCol[cell] - graph.cellCol[next])
+						+ Math.abs(graph.cellRow[cell] - graph.cellRow[next]));
+				boolean reverse = false;
+				for (int back = graph.offsets[next]; back < graph.offsets[next + 1]; back++) {
+					reverse |= graph.neighbors[back] == cell;
+				}
+				assertTrue(reverse);
+				assertEquals(graph.cellTile[next] == 'M' ? 3 : 1, graph.costs[edge]);
+				if (graph.cellTile[next] == 'M') {
+					mudEdges++;
+				}
+			}
+		}
+		assertTrue(mudEdges > 0);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package pathfinder.informed;
+
+import java.util.*;
+
+/**
+ * Reusable, single-threaded A* buffers sized to one MazeGraph. Cells are
+ * marked as seen or closed by stamping them with the current search
+ * generation, so nothing has to be cleared between searches.
+ */
+class SearchScratch {
+	int[] history;
+	int[] parent;
+	int[] seen;
+	int[] closed;
+	long[] heap;
+	int heapSize;
+	int generation;
+
+	/**
+	 * Constructs a new SearchScratch with buffers for every cell of the given
+	 * MazeGraph.
+	 *
+	 * @param graph The MazeGraph this scratch will be used to search
+	 */
+	SearchScratch(MazeGraph graph) {
+		int cells = graph.cellCount;
+		history = new int[cells];
+		parent = new int[cells];
+		seen = new int[cells];
+		closed = new int[cells];
+		heap = new long[Math.max(16, cells)];
+	}
+
+	/**
+	 * Mirrors Pathfinder.solve: finds the cheapest path from the start to the
+	 * nearest Key, and then from that Key to the nearest Goal.
+	 *
+	 * @param graph The MazeGraph to search
+	 * @param start A MazeState (col, row) to start the search from
+	 * @return An ArrayList of actions, or null if no such path exists
+	 */
+	ArrayList<String> solve(MazeGraph graph, MazeState start) {
+		if (start == null || graph.keys.length == 0 || graph.goals.length == 0) {
+			return null;
+		}
+		int from = graph.cellOf(start);
+		if (from < 0) {
+			throw new IllegalArgumentException("Start state is not an open tile: " + start);
+		}
+		if (history.length != graph.cellCount) {
+			throw new IllegalArgumentException("SearchScratch was sized for a different maze");
+		}
+		ArrayList<String> path = new ArrayList<>();
+		int key = searchPath(graph, from, graph.keys, graph.isKeyCell, path);
+		if (key < 0) {
+			return null;
+		}
+		if (searchPath(graph, key, graph.goals, graph.isGoalCell, path) < 0) {
+			return null;
+		}
+		return path;
+	}
+
+	/**
+	 * Runs A* from the given cell to the nearest target, and appends the actions
+	 * that lead there to the given path.
+	 *
+	 * @param graph    The MazeGraph to search
+	 * @param from     The cell id to start from
+	 * @param targets  Cell ids of every target, used by the heuristic
+	 * @param isTarget Bitmap over every cell, set for each target
+	 * @param path     The path to append the found actions to
+	 * @return The cell id of the target reached, or -1 if none is reachable
+	 */
+	private int searchPath(MazeGraph graph, int from, int[] targets, boolean[] isTarget, ArrayList<String> path) {
+		int[] offsets = graph.offsets, neighbors = graph.neighbors, costs = graph.costs;
+		int gen = nextGeneration();
+		heapSize = 0;
+		history[from] = 0;
+		parent[from] = -1;
+		seen[from] = gen;
+		push(getHeuristic(graph, from, targets), from);
+		while (heapSize > 0) {
+			int current = (int) pop();
+			if (closed[current] == gen) {
+				continue;
+			}
+			closed[current] = gen;
+			if (isTarget[current]) {
+				appendPath(graph, from, current, path);
+				return current;
+			}
+			for (int edge = offsets[current], end = offsets[current + 1]; edge < end; edge++) {
+				int next = neighbors[edge];
+				if (closed[next] == gen) {
+					continue;
+				}
+				int nextHistory = history[current] + costs[edge];
+				if (seen[next] != gen || nextHistory < history[next]) {
+					seen[next] = gen;
+					history[next] = nextHistory;
+					parent[next] = current;
+					push(nextHistory + getHeuristic(graph, next, targets), next);
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the Manhattan Distance from the given cell to the closest target.
+	 */
+	private static int getHeuristic(MazeGraph graph, int cell, int[] targets) {
+		int col = graph.cellCol[cell], row = graph.cellRow[cell], lowestCost = Integer.MAX_VALUE;
+		for (int target : targets) {
+			int cost = Math.abs(col - graph.cellCol[target]) + Math.abs(row - graph.cellRow[target]);
+			if (cost < lowestCost) {
+				lowestCost = cost;
+			}
+		}
+		return lowestCost;
+	}
+
+	/**
+	 * Walks the parent links back from the given cell and appends the actions
+	 * from the start cell to it, in order, to the given path.
+	 */
+	private void appendPath(MazeGraph graph, int from, int to, ArrayList<String> path) {
+		int start = path.size();
+		for (int current = to; current != from; current = parent[current]) {
+			path.add(graph.actionBetween(parent[current], current));
+		}
+		Collections.reverse(path.subList(start, path.size()));
+	}
+
+	/**
+	 * @return A fresh generation stamp, clearing the stamps if they wrap around
+	 */
+	private int nextGeneration() {
+		if (++generation == 0) {
+			Arrays.fill(seen, 0);
+			Arrays.fill(closed, 0);
+			generation = 1;
+		}
+		return generation;
+	}
+
+	// Binary min-heap of (evaluation << 32 | cell)
+	// -----------------------------------------------------------------------------
+
+	private void push(int evaluation, int cell) {
+		if (heapSize == heap.length) {
+			heap = Arrays.copyOf(heap, heapSize * 2);
+		}
+		long entry = ((long) evaluation << 32) | cell;
+		int i = heapSize++;
+		while (i > 0) {
+			int up = (i - 1) >>> 1;
+			if (heap[up] <= entry) {
+				break;
+			}
+			heap[i] = heap[up];
+			i = up;
+		}
+		heap[i] = entry;
+	}
+
+	private long pop() {
+		long top = heap[0], last = heap[--heapSize];
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (last <= heap[child]) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+		return top;
+	}
+}